@@ -0,0 +1,636 @@
+package com.networkflow.algorithm;
+
+import com.networkflow.model.Edge;
+import com.networkflow.model.FlowNetwork;
+
+import java.util.Arrays;
+
+/**
+ * This class calculates a maximum flow with the lowest total cost,
+ * using edge costs from the network.
+ *
+ * Two modes are available:
+ * - Successive shortest paths: repeatedly sends flow along the cheapest path,
+ *   found with Dijkstra on reduced costs (Johnson potentials).
+ * - Cost scaling: finds a maximum flow with Dinic's algorithm, then lowers its
+ *   cost with push-relabel, first only roughly and then exactly, step by step.
+ *   Uses global price updates and push look-ahead. Faster than successive
+ *   shortest paths on large sparse and grid networks.
+ *
+ * Both modes run on {@link ResidualGraph} and need a network without
+ * negative cost cycles. Both check for one and throw
+ * IllegalArgumentException if found.
+ */
+public class MinCostFlowFinder {
+
+    /**
+     * Algorithm used to find the flow
+     */
+    public enum Mode {
+        SUCCESSIVE_SHORTEST_PATHS,
+        COST_SCALING
+    }
+
+    // Distance for nodes that can't be reached
+    private static final long INFINITY = Long.MAX_VALUE / 4;
+
+    // How much epsilon shrinks in every cost scaling round
+    private static final int SCALING_FACTOR = 16;
+
+    // The network where minimum cost flow is calculated
+    private final FlowNetwork network;
+
+    // Algorithm to use
+    private final Mode mode;
+
+    // Total cost of the flow found
+    private long totalCost;
+
+    /**
+     * Creates new MinCostFlowFinder using successive shortest paths
+     *
+     * @param network flow network to work on
+     */
+    public MinCostFlowFinder(FlowNetwork network) {
+        this(network, Mode.SUCCESSIVE_SHORTEST_PATHS);
+    }
+
+    /**
+     * Creates new MinCostFlowFinder using the given mode
+     *
+     * @param network flow network to work on
+     * @param mode algorithm to use
+     */
+    public MinCostFlowFinder(FlowNetwork network, Mode mode) {
+        this.network   = network;
+        this.mode      = mode;
+        this.totalCost = 0;
+    }
+
+    /**
+     * Calculate the maximum flow with lowest cost and set the flow on every edge
+     *
+     * @return total maximum flow
+     * @throws IllegalArgumentException if network has a negative cost cycle,
+     *         costs are too large for cost scaling, or the flow or total
+     *         cost does not fit in the result type
+     */
+    public int findMinCostMaxFlow() {
+        int maxFlow = mode == Mode.COST_SCALING ? runCostScaling() : runSuccessiveShortestPaths();
+
+        totalCost = 0;
+        try {
+            for (Edge edge : network.getEdges()) {
+                totalCost = Math.addExact(totalCost, (long) edge.getCost() * edge.getFlow());
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Total cost does not fit in a long");
+        }
+
+        return maxFlow;
+    }
+
+    /**
+     * Return total cost of the flow found by findMinCostMaxFlow
+     *
+     * @return sum of cost times flow over all edges
+     */
+    public long getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Convert a flow value to int, reporting values that don't fit
+     *
+     * @param flow flow value
+     * @return same flow as int
+     */
+    private static int toIntFlow(long flow) {
+        try {
+            return Math.toIntExact(flow);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Maximum flow " + flow + " does not fit in an int");
+        }
+    }
+
+    /**
+     * Successive shortest paths with Dijkstra on reduced costs
+     *
+     * @return total maximum flow
+     */
+    private int runSuccessiveShortestPaths() {
+        ResidualGraph graph = ResidualGraph.fromNetwork(network);
+        int numberOfNodes   = graph.numberOfNodes;
+        int source          = network.getSource().getId();
+        int target          = network.getTarget().getId();
+
+        if (source == target) {
+            return 0;
+        }
+
+        long[] potential = findInitialPotentials(graph);
+        long[] distance  = new long[numberOfNodes];
+        int[] parentArc  = new int[numberOfNodes];
+        NodeHeap heap    = new NodeHeap(numberOfNodes);
+        long maxFlow     = 0;
+
+        while (findShortestPath(graph, source, target, potential, distance, parentArc, heap)) {
+            // Nodes not settled before target get target distance, keeps reduced costs >= 0
+            long limit = distance[target];
+            for (int v = 0; v < numberOfNodes; v++) {
+                potential[v] += Math.min(distance[v], limit);
+            }
+
+            // Find bottleneck going backward from target to source
+            long pathFlow = INFINITY;
+            for (int v = target; v != source; v = graph.head[graph.reverse[parentArc[v]]]) {
+                pathFlow = Math.min(pathFlow, graph.residual[parentArc[v]]);
+            }
+
+            // Increase flow through the path
+            for (int v = target; v != source; v = graph.head[graph.reverse[parentArc[v]]]) {
+                int arc = parentArc[v];
+                graph.residual[arc]                -= pathFlow;
+                graph.residual[graph.reverse[arc]] += pathFlow;
+            }
+
+            maxFlow += pathFlow;
+        }
+
+        int result = toIntFlow(maxFlow);
+        graph.writeFlows(network);
+        return result;
+    }
+
+    /**
+     * Uses Dijkstra with reduced costs to find cheapest path to target.
+     * Stops as soon as target is settled.
+     *
+     * @param graph residual graph
+     * @param source starting node
+     * @param target target node
+     * @param potential node potentials
+     * @param distance output reduced distance of every node
+     * @param parentArc output arc used to reach every node
+     * @param heap heap to reuse
+     * @return true if target can be reached
+     */
+    private boolean findShortestPath(ResidualGraph graph, int source, int target, long[] potential,
+                                     long[] distance, int[] parentArc, NodeHeap heap) {
+        Arrays.fill(distance, INFINITY);
+        heap.clear();
+
+        distance[source] = 0;
+        heap.insertOrDecrease(source, 0);
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            if (current == target) {
+                return true;
+            }
+
+            long base = distance[current] + potential[current];
+            for (int arc = graph.firstArc[current]; arc < graph.firstArc[current + 1]; arc++) {
+                if (graph.residual[arc] <= 0) {
+                    continue;
+                }
+
+                int next         = graph.head[arc];
+                long newDistance = base + graph.cost[arc] - potential[next];
+                if (newDistance < distance[next]) {
+                    distance[next]  = newDistance;
+                    parentArc[next] = arc;
+                    heap.insertOrDecrease(next, newDistance);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Find potentials that make all reduced costs non-negative. When no edge
+     * has a negative cost all potentials are 0, otherwise Bellman-Ford is
+     * started from every node at once, so any negative cost cycle is found.
+     *
+     * @param graph residual graph with no flow
+     * @return potential of every node
+     * @throws IllegalArgumentException if network has a negative cost cycle
+     */
+    private long[] findInitialPotentials(ResidualGraph graph) {
+        int numberOfNodes = graph.numberOfNodes;
+        long[] potential  = new long[numberOfNodes];
+
+        boolean hasNegative = false;
+        for (int arc = 0; arc < graph.head.length; arc++) {
+            if (graph.residual[arc] > 0 && graph.cost[arc] < 0) {
+                hasNegative = true;
+                break;
+            }
+        }
+        if (!hasNegative) {
+            return potential;
+        }
+
+        // Queue based Bellman-Ford, a node relaxed more than n times means a negative cycle
+        int[] queue       = new int[numberOfNodes];
+        boolean[] inQueue = new boolean[numberOfNodes];
+        int[] relaxCount  = new int[numberOfNodes];
+        int head          = 0;
+        int size          = numberOfNodes;
+
+        for (int v = 0; v < numberOfNodes; v++) {
+            queue[v]   = v;
+            inQueue[v] = true;
+        }
+
+        while (size > 0) {
+            int current      = queue[head];
+            head             = (head + 1) % numberOfNodes;
+            size--;
+            inQueue[current] = false;
+
+            for (int arc = graph.firstArc[current]; arc < graph.firstArc[current + 1]; arc++) {
+                int next = graph.head[arc];
+                if (graph.residual[arc] > 0 && potential[current] + graph.cost[arc] < potential[next]) {
+                    potential[next] = potential[current] + graph.cost[arc];
+
+                    if (!inQueue[next]) {
+                        if (++relaxCount[next] > numberOfNodes) {
+                            throw new IllegalArgumentException("Network has a negative cost cycle");
+                        }
+                        queue[(head + size) % numberOfNodes] = next;
+                        inQueue[next]                        = true;
+                        size++;
+                    }
+                }
+            }
+        }
+
+        return potential;
+    }
+
+    /**
+     * Cost scaling push-relabel. A maximum flow is found first, then its cost
+     * is lowered by treating it as a circulation that is only roughly optimal
+     * and making it exact step by step, without changing the flow value.
+     *
+     * @return total maximum flow
+     */
+    private int runCostScaling() {
+        ResidualGraph graph = ResidualGraph.fromNetwork(network);
+        int numberOfNodes   = graph.numberOfNodes;
+        int source          = network.getSource().getId();
+        int target          = network.getTarget().getId();
+
+        if (source == target) {
+            return 0;
+        }
+
+        long maxCost            = 0;
+        boolean hasNegativeCost = false;
+        for (int arc = 0; arc < graph.cost.length; arc++) {
+            maxCost          = Math.max(maxCost, Math.abs(graph.cost[arc]));
+            hasNegativeCost |= graph.residual[arc] > 0 && graph.cost[arc] < 0;
+        }
+
+        // Cost scaling would cancel a negative cost cycle instead of failing, check first
+        if (hasNegativeCost) {
+            findInitialPotentials(graph);
+        }
+
+        // Costs are multiplied by n + 1 so that epsilon = 1 gives an exact optimum.
+        // Prices can fall by about 3n times the first epsilon, so that must fit in a long too.
+        long epsilon;
+        try {
+            epsilon = Math.max(1, Math.multiplyExact(maxCost, numberOfNodes + 1L));
+            if (Math.multiplyExact(epsilon, 3L * (numberOfNodes + 1)) > INFINITY) {
+                throw new ArithmeticException("long overflow");
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Edge costs too large for cost scaling on "
+                    + numberOfNodes + " nodes, use successive shortest paths");
+        }
+        for (int arc = 0; arc < graph.cost.length; arc++) {
+            graph.cost[arc] *= numberOfNodes + 1;
+        }
+
+        int maxFlow  = toIntFlow(findMaxFlow(graph, source, target));
+        long[] price = new long[numberOfNodes];
+
+        while (epsilon > 1) {
+            epsilon = Math.max(1, epsilon / SCALING_FACTOR);
+            refine(graph, price, epsilon);
+        }
+
+        graph.writeFlows(network);
+        return maxFlow;
+    }
+
+    /**
+     * Dinic's algorithm on the residual graph: BFS levels, then blocking
+     * flows along level-increasing arcs. Used to start cost scaling from a
+     * maximum flow.
+     *
+     * @param graph residual graph, flow is added to it
+     * @param source starting node
+     * @param target target node
+     * @return total maximum flow
+     */
+    private long findMaxFlow(ResidualGraph graph, int source, int target) {
+        int numberOfNodes = graph.numberOfNodes;
+        int[] level       = new int[numberOfNodes];
+        int[] queue       = new int[numberOfNodes];
+        int[] currentArc  = new int[numberOfNodes];
+        int[] pathArc     = new int[numberOfNodes];
+        long maxFlow      = 0;
+
+        while (true) {
+            // BFS from source over arcs with residual capacity
+            Arrays.fill(level, -1);
+            level[source] = 0;
+            queue[0]      = source;
+            int head      = 0;
+            int tail      = 1;
+
+            while (head < tail && level[target] < 0) {
+                int current = queue[head++];
+                for (int arc = graph.firstArc[current]; arc < graph.firstArc[current + 1]; arc++) {
+                    int next = graph.head[arc];
+                    if (graph.residual[arc] > 0 && level[next] < 0) {
+                        level[next]   = level[current] + 1;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+
+            if (level[target] < 0) {
+                return maxFlow;
+            }
+
+            // Blocking flow with an explicit path stack
+            System.arraycopy(graph.firstArc, 0, currentArc, 0, numberOfNodes);
+            int depth   = 0;
+            int current = source;
+
+            while (true) {
+                if (current == target) {
+                    long pathFlow = INFINITY;
+                    for (int i = 0; i < depth; i++) {
+                        pathFlow = Math.min(pathFlow, graph.residual[pathArc[i]]);
+                    }
+
+                    // Push flow and go back to the first arc that became full
+                    int saturated = -1;
+                    for (int i = 0; i < depth; i++) {
+                        int arc = pathArc[i];
+                        graph.residual[arc]                -= pathFlow;
+                        graph.residual[graph.reverse[arc]] += pathFlow;
+                        if (saturated < 0 && graph.residual[arc] == 0) {
+                            saturated = i;
+                        }
+                    }
+
+                    maxFlow += pathFlow;
+                    depth    = saturated;
+                    current  = depth == 0 ? source : graph.head[pathArc[depth - 1]];
+                    continue;
+                }
+
+                // Advance along the next arc that goes one level deeper
+                int end = graph.firstArc[current + 1];
+                while (currentArc[current] < end) {
+                    int arc = currentArc[current];
+                    if (graph.residual[arc] > 0 && level[graph.head[arc]] == level[current] + 1) {
+                        break;
+                    }
+                    currentArc[current]++;
+                }
+
+                if (currentArc[current] < end) {
+                    pathArc[depth++] = currentArc[current];
+                    current          = graph.head[currentArc[current]];
+                    continue;
+                }
+
+                // Dead end, remove node from this level graph and retreat
+                level[current] = -1;
+                if (depth == 0) {
+                    break;
+                }
+                current = graph.head[graph.reverse[pathArc[--depth]]];
+                currentArc[current]++;
+            }
+        }
+    }
+
+    /**
+     * Turn an epsilon-optimal flow into a new epsilon-optimal flow with the
+     * same value for the given (smaller) epsilon
+     *
+     * @param graph residual graph holding the flow
+     * @param price price of every node
+     * @param epsilon new epsilon
+     */
+    private void refine(ResidualGraph graph, long[] price, long epsilon) {
+        int numberOfNodes = graph.numberOfNodes;
+        long[] excess     = new long[numberOfNodes];
+
+        // Saturate every arc with negative reduced cost
+        for (int v = 0; v < numberOfNodes; v++) {
+            for (int arc = graph.firstArc[v]; arc < graph.firstArc[v + 1]; arc++) {
+                long amount = graph.residual[arc];
+                int next    = graph.head[arc];
+                if (amount > 0 && graph.cost[arc] + price[v] - price[next] < 0) {
+                    graph.residual[arc]                 = 0;
+                    graph.residual[graph.reverse[arc]] += amount;
+                    excess[v]                          -= amount;
+                    excess[next]                       += amount;
+                }
+            }
+        }
+
+        // Active nodes (positive excess) in FIFO order
+        int[] queue       = new int[numberOfNodes];
+        boolean[] inQueue = new boolean[numberOfNodes];
+        int head          = 0;
+        int size          = 0;
+
+        for (int v = 0; v < numberOfNodes; v++) {
+            if (excess[v] > 0) {
+                queue[size++] = v;
+                inQueue[v]    = true;
+            }
+        }
+
+        if (size == 0) {
+            return;
+        }
+
+        int[] currentArc     = Arrays.copyOf(graph.firstArc, numberOfNodes);
+        long[] distance      = new long[numberOfNodes];
+        NodeHeap heap        = new NodeHeap(numberOfNodes);
+        int relabelsToUpdate = 0;
+
+        updatePrices(graph, price, excess, epsilon, distance, heap);
+
+        while (size > 0) {
+            // Global price update after about n relabels
+            if (relabelsToUpdate >= numberOfNodes) {
+                updatePrices(graph, price, excess, epsilon, distance, heap);
+                System.arraycopy(graph.firstArc, 0, currentArc, 0, numberOfNodes);
+                relabelsToUpdate = 0;
+            }
+
+            int current      = queue[head];
+            head             = (head + 1) % numberOfNodes;
+            size--;
+            inQueue[current] = false;
+
+            // Discharge: push along admissible arcs, relabel when none are left
+            while (excess[current] > 0) {
+                int arc = currentArc[current];
+
+                if (arc == graph.firstArc[current + 1]) {
+                    relabel(graph, price, current, epsilon);
+                    currentArc[current] = graph.firstArc[current];
+                    relabelsToUpdate++;
+                    continue;
+                }
+
+                int next = graph.head[arc];
+                if (graph.residual[arc] > 0 && graph.cost[arc] + price[current] - price[next] < 0) {
+                    // Look-ahead: relabel next first if it could only send the flow back
+                    if (excess[next] >= 0 && !hasAdmissibleArc(graph, price, currentArc, next)) {
+                        relabel(graph, price, next, epsilon);
+                        currentArc[next] = graph.firstArc[next];
+                        relabelsToUpdate++;
+                        continue;
+                    }
+
+                    long amount = Math.min(excess[current], graph.residual[arc]);
+
+                    graph.residual[arc]                -= amount;
+                    graph.residual[graph.reverse[arc]] += amount;
+                    excess[current]                    -= amount;
+                    excess[next]                       += amount;
+
+                    if (excess[next] > 0 && !inQueue[next]) {
+                        queue[(head + size) % numberOfNodes] = next;
+                        inQueue[next]                        = true;
+                        size++;
+                    }
+
+                    if (graph.residual[arc] == 0) {
+                        currentArc[current]++;
+                    }
+                } else {
+                    currentArc[current]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Global price update. Finds for every node the cheapest way (counted in
+     * steps of epsilon) to reach a node with negative excess, using Dijkstra
+     * backward from those nodes, and lowers prices by that amount. This keeps
+     * the flow epsilon-optimal and points every active node toward a deficit.
+     *
+     * @param graph residual graph
+     * @param price price of every node, updated
+     * @param excess excess of every node
+     * @param epsilon current epsilon
+     * @param distance array to reuse for distances
+     * @param heap heap to reuse
+     */
+    private void updatePrices(ResidualGraph graph, long[] price, long[] excess, long epsilon,
+                              long[] distance, NodeHeap heap) {
+        int numberOfNodes = graph.numberOfNodes;
+        int activeLeft    = 0;
+
+        Arrays.fill(distance, INFINITY);
+        heap.clear();
+
+        for (int v = 0; v < numberOfNodes; v++) {
+            if (excess[v] < 0) {
+                distance[v] = 0;
+                heap.insertOrDecrease(v, 0);
+            } else if (excess[v] > 0) {
+                activeLeft++;
+            }
+        }
+
+        // Settled nodes are marked by a negative distance until prices are updated
+        long last = 0;
+        while (!heap.isEmpty() && activeLeft > 0) {
+            int current = heap.poll();
+            last        = distance[current];
+            if (excess[current] > 0) {
+                activeLeft--;
+            }
+            distance[current] = -1 - last;
+
+            // Arc from previous to current, seen as the reverse of an arc leaving current
+            for (int arc = graph.firstArc[current]; arc < graph.firstArc[current + 1]; arc++) {
+                int back     = graph.reverse[arc];
+                int previous = graph.head[arc];
+                if (graph.residual[back] <= 0 || distance[previous] < 0) {
+                    continue;
+                }
+
+                long reduced     = graph.cost[back] + price[previous] - price[current];
+                long newDistance = last + Math.max(0, Math.floorDiv(reduced, epsilon) + 1);
+                if (newDistance < distance[previous]) {
+                    distance[previous] = newDistance;
+                    heap.insertOrDecrease(previous, newDistance);
+                }
+            }
+        }
+
+        // Nodes not settled when the search stopped move as far as the last one settled
+        for (int v = 0; v < numberOfNodes; v++) {
+            long steps = distance[v] < 0 ? -1 - distance[v] : last;
+            price[v]  -= steps * epsilon;
+        }
+    }
+
+    /**
+     * Check if node has an admissible arc, moving its current arc to the first one
+     *
+     * @param graph residual graph
+     * @param price price of every node
+     * @param currentArc current arc of every node
+     * @param node node to check
+     * @return true if an admissible arc was found
+     */
+    private boolean hasAdmissibleArc(ResidualGraph graph, long[] price, int[] currentArc, int node) {
+        int end = graph.firstArc[node + 1];
+        for (int arc = currentArc[node]; arc < end; arc++) {
+            if (graph.residual[arc] > 0 && graph.cost[arc] + price[node] - price[graph.head[arc]] < 0) {
+                currentArc[node] = arc;
+                return true;
+            }
+        }
+        currentArc[node] = end;
+        return false;
+    }
+
+    /**
+     * Lower price of a node just enough to create an admissible arc
+     *
+     * @param graph residual graph
+     * @param price price of every node
+     * @param node node to relabel
+     * @param epsilon current epsilon
+     */
+    private void relabel(ResidualGraph graph, long[] price, int node, long epsilon) {
+        long best = -INFINITY;
+        for (int arc = graph.firstArc[node]; arc < graph.firstArc[node + 1]; arc++) {
+            if (graph.residual[arc] > 0) {
+                best = Math.max(best, price[graph.head[arc]] - graph.cost[arc]);
+            }
+        }
+        price[node] = best - epsilon;
+    }
+}
@@ -0,0 +1,136 @@
+package com.networkflow.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of node IDs ordered by a long key, stored in int arrays.
+ * Keeps the position of every node so its key can be decreased in place.
+ */
+class NodeHeap {
+
+    // Node IDs in heap order
+    private final int[] heap;
+
+    // Position of every node in heap, or -1 if not in heap
+    private final int[] position;
+
+    // Key of every node
+    private final long[] key;
+
+    // Number of nodes in heap
+    private int size;
+
+    /**
+     * Create empty heap for nodes 0 to numberOfNodes - 1
+     *
+     * @param numberOfNodes number of nodes
+     */
+    NodeHeap(int numberOfNodes) {
+        this.heap     = new int[numberOfNodes];
+        this.position = new int[numberOfNodes];
+        this.key      = new long[numberOfNodes];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Check if heap has no nodes
+     *
+     * @return true if empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all nodes from heap
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Add node with given key, or lower its key if it is already in heap
+     * and the new key is smaller
+     *
+     * @param node node ID
+     * @param newKey key for the node
+     */
+    void insertOrDecrease(int node, long newKey) {
+        int index = position[node];
+        if (index < 0) {
+            index = size++;
+        } else if (newKey >= key[node]) {
+            return;
+        }
+
+        key[node] = newKey;
+        siftUp(node, index);
+    }
+
+    /**
+     * Remove and return node with the smallest key
+     *
+     * @return node ID
+     */
+    int poll() {
+        int top        = heap[0];
+        int last       = heap[--size];
+        position[top]  = -1;
+
+        if (size > 0) {
+            siftDown(last, 0);
+        }
+        return top;
+    }
+
+    /**
+     * Move node up from index until its parent has a smaller key
+     *
+     * @param node node to place
+     * @param index starting index
+     */
+    private void siftUp(int node, int index) {
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            int parent      = heap[parentIndex];
+            if (key[parent] <= key[node]) {
+                break;
+            }
+            heap[index]      = parent;
+            position[parent] = index;
+            index            = parentIndex;
+        }
+        heap[index]    = node;
+        position[node] = index;
+    }
+
+    /**
+     * Move node down from index until its children have larger keys
+     *
+     * @param node node to place
+     * @param index starting index
+     */
+    private void siftDown(int node, int index) {
+        int half = size >>> 1;
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            int child      = heap[childIndex];
+            int right      = childIndex + 1;
+            if (right < size && key[heap[right]] < key[child]) {
+                childIndex = right;
+                child      = heap[right];
+            }
+            if (key[node] <= key[child]) {
+                break;
+            }
+            heap[index]     = child;
+            position[child] = index;
+            index           = childIndex;
+        }
+        heap[index]    = node;
+        position[node] = index;
+    }
+}
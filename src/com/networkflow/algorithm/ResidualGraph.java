@@ -0,0 +1,143 @@
+package com.networkflow.algorithm;
+
+import com.networkflow.model.Edge;
+import com.networkflow.model.FlowNetwork;
+
+import java.util.List;
+
+/**
+ * Residual network stored in primitive arrays, for solvers that need
+ * to run on large graphs.
+ *
+ * Every edge becomes a forward arc and a reverse arc. Arcs are grouped
+ * by their start node (compressed sparse rows), so the arcs leaving node v
+ * are firstArc[v] up to firstArc[v + 1] - 1. The residual capacity of the
+ * reverse arc is the flow on the edge.
+ */
+public class ResidualGraph {
+
+    // Number of nodes in the graph
+    final int numberOfNodes;
+
+    // Index of first arc of every node, with one extra entry at the end
+    final int[] firstArc;
+
+    // End node of every arc
+    final int[] head;
+
+    // Index of the paired arc going the other way
+    final int[] reverse;
+
+    // Remaining capacity of every arc
+    final long[] residual;
+
+    // Cost per unit of flow of every arc (negative for reverse arcs)
+    final long[] cost;
+
+    // Forward arc index for every input edge
+    private final int[] arcOfEdge;
+
+    /**
+     * Create residual graph from edge arrays. Edge i goes from tails[i] to heads[i].
+     *
+     * @param numberOfNodes number of nodes
+     * @param tails start node of every edge
+     * @param heads end node of every edge
+     * @param capacities capacity of every edge
+     * @param costs cost per unit of flow of every edge
+     */
+    public ResidualGraph(int numberOfNodes, int[] tails, int[] heads, long[] capacities, long[] costs) {
+        int numberOfEdges  = tails.length;
+        int numberOfArcs   = 2 * numberOfEdges;
+
+        this.numberOfNodes = numberOfNodes;
+        this.firstArc      = new int[numberOfNodes + 1];
+        this.head          = new int[numberOfArcs];
+        this.reverse       = new int[numberOfArcs];
+        this.residual      = new long[numberOfArcs];
+        this.cost          = new long[numberOfArcs];
+        this.arcOfEdge     = new int[numberOfEdges];
+
+        // Count arcs leaving every node, then turn counts into start positions
+        for (int i = 0; i < numberOfEdges; i++) {
+            firstArc[tails[i] + 1]++;
+            firstArc[heads[i] + 1]++;
+        }
+        for (int v = 0; v < numberOfNodes; v++) {
+            firstArc[v + 1] += firstArc[v];
+        }
+
+        // Place each forward and reverse arc in the next free slot of its node
+        int[] nextFree = new int[numberOfNodes];
+        System.arraycopy(firstArc, 0, nextFree, 0, numberOfNodes);
+
+        for (int i = 0; i < numberOfEdges; i++) {
+            int forward  = nextFree[tails[i]]++;
+            int backward = nextFree[heads[i]]++;
+
+            head[forward]     = heads[i];
+            residual[forward] = capacities[i];
+            cost[forward]     = costs[i];
+            reverse[forward]  = backward;
+
+            head[backward]     = tails[i];
+            residual[backward] = 0;
+            cost[backward]     = -costs[i];
+            reverse[backward]  = forward;
+
+            arcOfEdge[i] = forward;
+        }
+    }
+
+    /**
+     * Create residual graph from the edges of a flow network, with all flows at 0
+     *
+     * @param network flow network to copy
+     * @return residual graph with one forward arc per network edge
+     */
+    public static ResidualGraph fromNetwork(FlowNetwork network) {
+        List<Edge> edges = network.getEdges();
+        int size         = edges.size();
+        int[] tails      = new int[size];
+        int[] heads      = new int[size];
+        long[] caps      = new long[size];
+        long[] costs     = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            Edge edge = edges.get(i);
+            tails[i]  = edge.getFrom().getId();
+            heads[i]  = edge.getTo().getId();
+            caps[i]   = edge.getCapacity();
+            costs[i]  = edge.getCost();
+        }
+
+        return new ResidualGraph(network.getNumberOfNodes(), tails, heads, caps, costs);
+    }
+
+    /**
+     * Get current flow on an input edge
+     *
+     * @param edgeIndex index of the edge as it was given
+     * @return flow on the edge
+     */
+    public long getFlow(int edgeIndex) {
+        return residual[reverse[arcOfEdge[edgeIndex]]];
+    }
+
+    /**
+     * Copy flow values back to the edges of the network this graph was made from
+     *
+     * @param network network with the same edges in the same order
+     * @throws IllegalArgumentException if a flow does not fit in an int
+     */
+    public void writeFlows(FlowNetwork network) {
+        List<Edge> edges = network.getEdges();
+        for (int i = 0; i < edges.size(); i++) {
+            try {
+                edges.get(i).setFlow(Math.toIntExact(getFlow(i)));
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Flow " + getFlow(i) + " on edge " + i + " does not fit in an int");
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@
 package com.networkflow.app;
 
 import com.networkflow.algorithm.MaxFlowFinder;
+import com.networkflow.algorithm.MinCostFlowFinder;
 import com.networkflow.io.NetworkParser;
 import com.networkflow.model.FlowNetwork;
 import com.networkflow.util.OutputFormatter;
@@ -84,6 +85,25 @@ public class Main {
             // Display final state of network with flow values
             OutputFormatter.printFinalState(network);
 
+            // If edges have costs, also find the cheapest maximum flow
+            if (network.hasCosts()) {
+                System.out.println("Calculating minimum cost maximum flow...");
+
+                try {
+                    MinCostFlowFinder minCostFlowFinder = new MinCostFlowFinder(network);
+                    int minCostFlow = minCostFlowFinder.findMinCostMaxFlow();
+
+                    System.out.println("========================================");
+                    System.out.println("Maximum flow: " + minCostFlow);
+                    System.out.println("Minimum total cost: " + minCostFlowFinder.getTotalCost());
+
+                    OutputFormatter.printFinalState(network);
+                } catch (IllegalArgumentException e) {
+                    // Handle networks the minimum cost solver can't work on
+                    System.err.println("Error calculating minimum cost flow: " + e.getMessage());
+                }
+            }
+
         } catch (IOException e) {
             // Handle file reading errors
             System.err.println("Error reading input file: " + e.getMessage());
@@ -0,0 +1,168 @@
+package com.networkflow.bench;
+
+import com.networkflow.model.Edge;
+import com.networkflow.model.FlowNetwork;
+import com.networkflow.model.Node;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Checks that the flow left on a network by a solver is a valid maximum flow.
+ */
+public class FlowValidator {
+
+    /**
+     * Validate the flow on the network. Checks that:
+     * - every edge flow is between 0 and its capacity
+     * - flow in equals flow out for every node except source and target
+     * - flow out of source equals the reported flow value
+     * - the cut of nodes reachable from source in the residual network
+     *   does not contain target and has capacity equal to the flow value
+     *
+     * @param network network with flows set by a solver
+     * @param flowValue maximum flow reported by the solver
+     * @return list of problems found, empty if the flow is valid
+     */
+    public static List<String> validate(FlowNetwork network, int flowValue) {
+        List<String> problems = new ArrayList<>();
+        int numberOfNodes     = network.getNumberOfNodes();
+        int sourceId          = network.getSource().getId();
+        int targetId          = network.getTarget().getId();
+        long[] balance        = new long[numberOfNodes];
+
+        // Capacity limits
+        for (Edge edge : network.getEdges()) {
+            if (edge.getFlow() < 0 || edge.getFlow() > edge.getCapacity()) {
+                problems.add("Capacity broken: " + edge);
+            }
+            balance[edge.getFrom().getId()] -= edge.getFlow();
+            balance[edge.getTo().getId()]   += edge.getFlow();
+        }
+
+        // Flow conservation
+        for (int i = 0; i < numberOfNodes; i++) {
+            if (i != sourceId && i != targetId && balance[i] != 0) {
+                problems.add("Conservation broken at node " + i + " (in - out = " + balance[i] + ")");
+            }
+        }
+
+        if (-balance[sourceId] != flowValue) {
+            problems.add("Flow out of source is " + (-balance[sourceId]) + " but reported flow is " + flowValue);
+        }
+
+        // Minimum cut from residual reachability
+        boolean[] reachable = findResidualReachable(network);
+        if (reachable[targetId]) {
+            problems.add("Target still reachable in residual network, flow is not maximum");
+        }
+
+        long cutCapacity = 0;
+        for (Edge edge : network.getEdges()) {
+            if (reachable[edge.getFrom().getId()] && !reachable[edge.getTo().getId()]) {
+                cutCapacity += edge.getCapacity();
+            }
+        }
+        if (cutCapacity != flowValue) {
+            problems.add("Cut capacity is " + cutCapacity + " but reported flow is " + flowValue);
+        }
+
+        return problems;
+    }
+
+    /**
+     * Check that the flow on the network has the lowest possible cost for
+     * its value, which is true when the residual network has no negative
+     * cost cycle. Uses Bellman-Ford started from every node at once.
+     *
+     * @param network network with flows set by a solver
+     * @return list of problems found, empty if the cost is minimal
+     */
+    public static List<String> validateMinCost(FlowNetwork network) {
+        List<String> problems = new ArrayList<>();
+        int numberOfNodes     = network.getNumberOfNodes();
+        long[] distance       = new long[numberOfNodes];
+
+        for (int round = 0; round < numberOfNodes; round++) {
+            boolean changed = false;
+
+            for (Edge edge : network.getEdges()) {
+                int from = edge.getFrom().getId();
+                int to   = edge.getTo().getId();
+
+                // Forward residual arc
+                if (edge.getResidualCapacity() > 0 && distance[from] + edge.getCost() < distance[to]) {
+                    distance[to] = distance[from] + edge.getCost();
+                    changed      = true;
+                }
+
+                // Backward residual arc
+                if (edge.getFlow() > 0 && distance[to] - edge.getCost() < distance[from]) {
+                    distance[from] = distance[to] - edge.getCost();
+                    changed        = true;
+                }
+            }
+
+            if (!changed) {
+                return problems;
+            }
+        }
+
+        problems.add("Residual network has a negative cost cycle, flow cost is not minimal");
+        return problems;
+    }
+
+    /**
+     * Calculate total cost of the flow on the network
+     *
+     * @param network network with flows
+     * @return sum of cost times flow over all edges
+     */
+    public static long totalCost(FlowNetwork network) {
+        long cost = 0;
+        for (Edge edge : network.getEdges()) {
+            cost += (long) edge.getCost() * edge.getFlow();
+        }
+        return cost;
+    }
+
+    /**
+     * Uses BFS to find nodes reachable from source in the residual network
+     *
+     * @param network network with flows
+     * @return reachable flag for each node ID
+     */
+    private static boolean[] findResidualReachable(FlowNetwork network) {
+        boolean[] reachable = new boolean[network.getNumberOfNodes()];
+        Queue<Node> queue   = new ArrayDeque<>();
+
+        reachable[network.getSource().getId()] = true;
+        queue.add(network.getSource());
+
+        while (!queue.isEmpty()) {
+            Node current = queue.poll();
+
+            // Forward edges
+            for (Edge edge : current.getOutgoingEdges()) {
+                Node next = edge.getTo();
+                if (!reachable[next.getId()] && edge.getResidualCapacity() > 0) {
+                    reachable[next.getId()] = true;
+                    queue.add(next);
+                }
+            }
+
+            // Backward edges
+            for (Edge edge : current.getIncomingEdges()) {
+                Node next = edge.getFrom();
+                if (!reachable[next.getId()] && edge.getFlow() > 0) {
+                    reachable[next.getId()] = true;
+                    queue.add(next);
+                }
+            }
+        }
+
+        return reachable;
+    }
+}
@@ -0,0 +1,20 @@
+package com.networkflow.bench;
+
+import com.networkflow.model.FlowNetwork;
+
+/**
+ * A maximum flow solver that can be compared by the benchmark harness.
+ * The solver must leave the flow values it found on the network edges,
+ * so the result can be checked by {@link FlowValidator}.
+ */
+@FunctionalInterface
+public interface MaxFlowSolver {
+
+    /**
+     * Calculate the maximum flow of the network
+     *
+     * @param network flow network with all flows set to 0
+     * @return total maximum flow
+     */
+    int solve(FlowNetwork network);
+}
@@ -0,0 +1,301 @@
+package com.networkflow.bench;
+
+import com.networkflow.model.FlowNetwork;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Builds random flow networks for testing and benchmarking solvers.
+ * The same seed always gives the same networks.
+ *
+ * Generated networks never contain parallel edges or two edges
+ * going in opposite directions between the same pair of nodes,
+ * except the ones from {@link #multigraph}.
+ *
+ * Negative costs are only safe on networks without cycles
+ * (grid, bipartite and Edmonds-Karp worst case), other shapes may
+ * get a negative cost cycle.
+ */
+public class NetworkGenerator {
+
+    // Mixed into the seed of the cost random source
+    private static final long COST_SEED_MIX = 0x5DEECE66DL;
+
+    // Random source for topology and capacities, seeded so runs can be repeated
+    private final Random random;
+
+    // Separate random source for costs, so costs don't change the networks for a seed
+    private final Random costRandom;
+
+    // Smallest and largest edge cost, both 0 means edges have no cost
+    private final int minCost;
+    private final int maxCost;
+
+    /**
+     * Create new generator with the given seed, edges have no cost
+     *
+     * @param seed seed for random numbers
+     */
+    public NetworkGenerator(long seed) {
+        this(seed, 0);
+    }
+
+    /**
+     * Create new generator with the given seed and random edge costs
+     *
+     * @param seed seed for random numbers
+     * @param maxCost largest edge cost
+     */
+    public NetworkGenerator(long seed, int maxCost) {
+        this(seed, 0, maxCost);
+    }
+
+    /**
+     * Create new generator with the given seed and random edge costs
+     * between minCost and maxCost
+     *
+     * @param seed seed for random numbers
+     * @param minCost smallest edge cost, may be negative
+     * @param maxCost largest edge cost
+     */
+    public NetworkGenerator(long seed, int minCost, int maxCost) {
+        this.random     = new Random(seed);
+        this.costRandom = new Random(seed ^ COST_SEED_MIX);
+        this.minCost    = minCost;
+        this.maxCost    = maxCost;
+    }
+
+    /**
+     * Sparse network where each node has a few random outgoing edges.
+     * A path 0 -> 1 -> ... -> n-1 is always added so target is reachable.
+     *
+     * @param numberOfNodes number of nodes
+     * @param edgesPerNode extra random edges per node
+     * @param maxCapacity largest edge capacity
+     * @return generated network
+     */
+    public FlowNetwork sparse(int numberOfNodes, int edgesPerNode, int maxCapacity) {
+        FlowNetwork network = new FlowNetwork(numberOfNodes);
+        Set<Long> used      = new HashSet<>();
+
+        for (int i = 0; i + 1 < numberOfNodes; i++) {
+            addEdge(network, used, i, i + 1, randomCapacity(maxCapacity));
+        }
+
+        for (int from = 0; from < numberOfNodes; from++) {
+            for (int k = 0; k < edgesPerNode; k++) {
+                int to = random.nextInt(numberOfNodes);
+                addEdge(network, used, from, to, randomCapacity(maxCapacity));
+            }
+        }
+
+        return network;
+    }
+
+    /**
+     * Dense network with one edge (in random direction) between every pair of nodes
+     *
+     * @param numberOfNodes number of nodes
+     * @param maxCapacity largest edge capacity
+     * @return generated network
+     */
+    public FlowNetwork dense(int numberOfNodes, int maxCapacity) {
+        FlowNetwork network = new FlowNetwork(numberOfNodes);
+        Set<Long> used      = new HashSet<>();
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            for (int j = i + 1; j < numberOfNodes; j++) {
+                if (random.nextBoolean()) {
+                    addEdge(network, used, i, j, randomCapacity(maxCapacity));
+                } else {
+                    addEdge(network, used, j, i, randomCapacity(maxCapacity));
+                }
+            }
+        }
+
+        return network;
+    }
+
+    /**
+     * Grid network. Source connects to the first column and the last
+     * column connects to target, inner edges go right and down.
+     *
+     * @param rows number of grid rows
+     * @param columns number of grid columns
+     * @param maxCapacity largest edge capacity
+     * @return generated network
+     */
+    public FlowNetwork grid(int rows, int columns, int maxCapacity) {
+        // node 0 is source, grid cells are 1..rows*columns, last node is target
+        int numberOfNodes   = rows * columns + 2;
+        int target          = numberOfNodes - 1;
+        FlowNetwork network = new FlowNetwork(numberOfNodes);
+        Set<Long> used      = new HashSet<>();
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                int cell = 1 + r * columns + c;
+
+                if (c + 1 < columns) {
+                    addEdge(network, used, cell, cell + 1, randomCapacity(maxCapacity));
+                }
+                if (r + 1 < rows) {
+                    addEdge(network, used, cell, cell + columns, randomCapacity(maxCapacity));
+                }
+            }
+
+            addEdge(network, used, 0, 1 + r * columns, randomCapacity(maxCapacity));
+            addEdge(network, used, 1 + r * columns + columns - 1, target, randomCapacity(maxCapacity));
+        }
+
+        return network;
+    }
+
+    /**
+     * Bipartite matching style network. Source connects to every left node,
+     * every right node connects to target, left-right edges are random.
+     *
+     * @param left number of left nodes
+     * @param right number of right nodes
+     * @param edgeProbability chance of an edge between a left and right node
+     * @param maxCapacity largest edge capacity (1 gives plain matching)
+     * @return generated network
+     */
+    public FlowNetwork bipartite(int left, int right, double edgeProbability, int maxCapacity) {
+        int numberOfNodes   = left + right + 2;
+        int target          = numberOfNodes - 1;
+        FlowNetwork network = new FlowNetwork(numberOfNodes);
+        Set<Long> used      = new HashSet<>();
+
+        for (int l = 1; l <= left; l++) {
+            addEdge(network, used, 0, l, randomCapacity(maxCapacity));
+
+            for (int r = left + 1; r <= left + right; r++) {
+                if (random.nextDouble() < edgeProbability) {
+                    addEdge(network, used, l, r, randomCapacity(maxCapacity));
+                }
+            }
+        }
+
+        for (int r = left + 1; r <= left + right; r++) {
+            addEdge(network, used, r, target, randomCapacity(maxCapacity));
+        }
+
+        return network;
+    }
+
+    /**
+     * Hard case for Edmonds-Karp: layers fully connected with capacity 1 edges.
+     * Every shortest path carries only one unit, so the number of BFS rounds
+     * is the number of unit edges between two layers (width * width).
+     *
+     * @param layers number of inner layers
+     * @param width nodes in each layer
+     * @return generated network
+     */
+    public FlowNetwork edmondsKarpWorstCase(int layers, int width) {
+        int numberOfNodes   = layers * width + 2;
+        int target          = numberOfNodes - 1;
+        int big             = width * width;
+        FlowNetwork network = new FlowNetwork(numberOfNodes);
+        Set<Long> used      = new HashSet<>();
+
+        for (int i = 0; i < width; i++) {
+            addEdge(network, used, 0, 1 + i, big);
+            addEdge(network, used, 1 + (layers - 1) * width + i, target, big);
+        }
+
+        for (int layer = 0; layer + 1 < layers; layer++) {
+            for (int i = 0; i < width; i++) {
+                for (int j = 0; j < width; j++) {
+                    addEdge(network, used, 1 + layer * width + i, 1 + (layer + 1) * width + j, 1);
+                }
+            }
+        }
+
+        return network;
+    }
+
+    /**
+     * Network with random edges that may be parallel or go in opposite
+     * directions between the same nodes. A path 0 -> 1 -> ... -> n-1 is
+     * always added so target is reachable.
+     *
+     * MaxFlowFinder finds edges by their end nodes, so it can't solve
+     * these networks. Use them only with solvers that work on arcs.
+     *
+     * @param numberOfNodes number of nodes
+     * @param numberOfEdges extra random edges
+     * @param maxCapacity largest edge capacity
+     * @return generated network
+     */
+    public FlowNetwork multigraph(int numberOfNodes, int numberOfEdges, int maxCapacity) {
+        FlowNetwork network = new FlowNetwork(numberOfNodes);
+
+        for (int i = 0; i + 1 < numberOfNodes; i++) {
+            network.addEdge(i, i + 1, randomCapacity(maxCapacity), randomCost());
+        }
+
+        // Each random edge also gets a parallel or reverse copy half of the time
+        for (int k = 0; k < numberOfEdges; k++) {
+            int from = random.nextInt(numberOfNodes);
+            int to   = random.nextInt(numberOfNodes);
+            if (from == to) {
+                continue;
+            }
+
+            network.addEdge(from, to, randomCapacity(maxCapacity), randomCost());
+            if (random.nextBoolean()) {
+                if (random.nextBoolean()) {
+                    network.addEdge(from, to, randomCapacity(maxCapacity), randomCost());
+                } else {
+                    network.addEdge(to, from, randomCapacity(maxCapacity), randomCost());
+                }
+            }
+        }
+
+        return network;
+    }
+
+    /**
+     * Add edge only if it is not a self loop, a parallel edge, or
+     * the reverse of an edge that already exists
+     *
+     * @param network network to add edge to
+     * @param used node pairs that already have an edge
+     * @param from source node ID
+     * @param to target node ID
+     * @param capacity maximum flow capacity
+     */
+    private void addEdge(FlowNetwork network, Set<Long> used, int from, int to, int capacity) {
+        if (from == to) {
+            return;
+        }
+
+        long key = (long) Math.min(from, to) * network.getNumberOfNodes() + Math.max(from, to);
+        if (used.add(key)) {
+            network.addEdge(from, to, capacity, randomCost());
+        }
+    }
+
+    /**
+     * Random cost between minCost and maxCost
+     *
+     * @return random cost
+     */
+    private int randomCost() {
+        return maxCost > minCost ? minCost + costRandom.nextInt(maxCost - minCost + 1) : minCost;
+    }
+
+    /**
+     * Random capacity between 1 and maxCapacity
+     *
+     * @param maxCapacity largest capacity
+     * @return random capacity
+     */
+    private int randomCapacity(int maxCapacity) {
+        return 1 + random.nextInt(maxCapacity);
+    }
+}
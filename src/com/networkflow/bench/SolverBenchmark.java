@@ -0,0 +1,425 @@
+package com.networkflow.bench;
+
+import com.networkflow.algorithm.MaxFlowFinder;
+import com.networkflow.algorithm.MinCostFlowFinder;
+import com.networkflow.model.Edge;
+import com.networkflow.model.FlowNetwork;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs every registered solver on seeded random networks, checks that
+ * they agree on the maximum flow and that each flow is valid, and
+ * compares time and allocations against a saved baseline. Minimum cost
+ * solvers must also agree on the cost and leave no cheaper flow.
+ *
+ * Usage: java com.networkflow.bench.SolverBenchmark
+ *            [--seed n] [--baseline file] [--save file] [--threshold ratio]
+ *
+ * Exits with status 1 if any check fails or any solver regresses.
+ */
+public class SolverBenchmark {
+
+    // Runs that are thrown away so the JIT has compiled the solver
+    private static final int WARMUP_RUNS = 5;
+
+    // How many times each solver runs on each network, the best run is kept
+    private static final int RUNS = 5;
+
+    // Time and allocation differences smaller than this are treated as noise
+    private static final long NOISE_NANOS = 2_000_000L;
+    private static final long NOISE_BYTES = 1_000_000L;
+
+    // Largest edge cost in generated networks
+    private static final int MAX_COST = 20;
+
+    // Solvers that must also find the lowest cost flow
+    private static final Set<String> MIN_COST_SOLVERS = Set.of("min-cost-ssp", "min-cost-scaling");
+
+    // Networks only minimum cost solvers run on: parallel or reverse edges,
+    // or too large for Edmonds-Karp with its explanation log
+    private static final Set<String> MIN_COST_ONLY_CASES = Set.of("multigraph-300", "sparse-10000", "grid-60x60");
+
+    /**
+     * Result of one solver on one network
+     */
+    private static class Result {
+        final String caseName;
+        final String solverName;
+        final int    flow;
+        final long   cost;
+        final long   nanos;
+        final long   bytes;
+
+        Result(String caseName, String solverName, int flow, long cost, long nanos, long bytes) {
+            this.caseName   = caseName;
+            this.solverName = solverName;
+            this.flow       = flow;
+            this.cost       = cost;
+            this.nanos      = nanos;
+            this.bytes      = bytes;
+        }
+
+        String key() {
+            return caseName + " " + solverName;
+        }
+    }
+
+    /**
+     * Entry point for the benchmark.
+     *
+     * @param args command line arguments
+     */
+    public static void main(String[] args) {
+        long seed        = 42;
+        String baseline  = null;
+        String save      = null;
+        double threshold = 1.5;
+
+        // A bad command line must fail the run, not silently skip a check
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                exitWithUsage("Missing value for option: " + args[i]);
+            }
+
+            try {
+                switch (args[i]) {
+                    case "--seed":      seed      = Long.parseLong(args[i + 1]);     break;
+                    case "--baseline":  baseline  = args[i + 1];                     break;
+                    case "--save":      save      = args[i + 1];                     break;
+                    case "--threshold": threshold = Double.parseDouble(args[i + 1]); break;
+                    default:
+                        exitWithUsage("Unknown option: " + args[i]);
+                }
+            } catch (NumberFormatException e) {
+                exitWithUsage("Invalid value for option " + args[i] + ": " + args[i + 1]);
+            }
+        }
+
+        List<String> failures = new ArrayList<>();
+        List<Result> results  = runAll(seed, failures);
+
+        printResults(results);
+
+        try {
+            if (baseline != null) {
+                compareWithBaseline(results, readBaseline(baseline), threshold, failures);
+            }
+            if (save != null) {
+                writeBaseline(save, results);
+                System.out.println("Results saved to " + save);
+            }
+        } catch (IOException e) {
+            failures.add("Error reading or writing baseline: " + e.getMessage());
+        }
+
+        System.out.println("========================================");
+        if (failures.isEmpty()) {
+            System.out.println("All checks passed.");
+        } else {
+            System.out.println(failures.size() + " check(s) failed:");
+            for (String failure : failures) {
+                System.out.println("  " + failure);
+            }
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Print an error and the usage, then exit with status 1
+     *
+     * @param message error to print
+     */
+    private static void exitWithUsage(String message) {
+        System.err.println("Error: " + message);
+        System.err.println("Usage: java com.networkflow.bench.SolverBenchmark"
+                + " [--seed n] [--baseline file] [--save file] [--threshold ratio]");
+        System.exit(1);
+    }
+
+    /**
+     * Solvers to compare, by name. New solvers are registered here.
+     *
+     * @return solvers in the order they run
+     */
+    private static Map<String, MaxFlowSolver> solvers() {
+        Map<String, MaxFlowSolver> solvers = new LinkedHashMap<>();
+        solvers.put("edmonds-karp", network -> new MaxFlowFinder(network).findMaxFlow());
+        solvers.put("min-cost-ssp", network -> new MinCostFlowFinder(network).findMinCostMaxFlow());
+        solvers.put("min-cost-scaling", network ->
+                new MinCostFlowFinder(network, MinCostFlowFinder.Mode.COST_SCALING).findMinCostMaxFlow());
+        return solvers;
+    }
+
+    /**
+     * Networks to run the solvers on, by name
+     *
+     * @param seed seed for the random generator
+     * @return networks in the order they run
+     */
+    private static Map<String, FlowNetwork> cases(long seed) {
+        NetworkGenerator generator     = new NetworkGenerator(seed, MAX_COST);
+        NetworkGenerator negative      = new NetworkGenerator(seed, -MAX_COST, MAX_COST);
+        Map<String, FlowNetwork> cases = new LinkedHashMap<>();
+
+        cases.put("sparse-200",       generator.sparse(200, 3, 100));
+        cases.put("sparse-2000",      generator.sparse(2000, 3, 1000));
+        cases.put("dense-100",        generator.dense(100, 100));
+        cases.put("grid-30x30",       generator.grid(30, 30, 50));
+        cases.put("bipartite-60x60",  generator.bipartite(60, 60, 0.1, 1));
+        cases.put("bipartite-cap-40", generator.bipartite(40, 40, 0.2, 20));
+        cases.put("ek-worst-4x20",    generator.edmondsKarpWorstCase(4, 20));
+        cases.put("multigraph-300",   generator.multigraph(300, 1500, 100));
+        cases.put("sparse-10000",     generator.sparse(10000, 4, 1000));
+        cases.put("grid-60x60",       generator.grid(60, 60, 50));
+
+        // Grid has no cycles, so negative costs can't make a negative cost cycle
+        cases.put("grid-negative-20", negative.grid(20, 20, 50));
+
+        return cases;
+    }
+
+    /**
+     * Run every solver on every network and check the results
+     *
+     * @param seed seed for the random generator
+     * @param failures list to add failed checks to
+     * @return measured results
+     */
+    private static List<Result> runAll(long seed, List<String> failures) {
+        List<Result> results               = new ArrayList<>();
+        Map<String, MaxFlowSolver> solvers = solvers();
+
+        for (Map.Entry<String, FlowNetwork> testCase : cases(seed).entrySet()) {
+            String caseName     = testCase.getKey();
+            FlowNetwork network = testCase.getValue();
+            Integer expected    = null;
+            Long expectedCost   = null;
+
+            for (Map.Entry<String, MaxFlowSolver> solver : solvers.entrySet()) {
+                if (MIN_COST_ONLY_CASES.contains(caseName) && !MIN_COST_SOLVERS.contains(solver.getKey())) {
+                    continue;
+                }
+
+                Result result = measure(caseName, solver.getKey(), solver.getValue(), network);
+                results.add(result);
+
+                // Flow left by the last run must be a valid maximum flow
+                for (String problem : FlowValidator.validate(network, result.flow)) {
+                    failures.add(result.key() + ": " + problem);
+                }
+
+                // All solvers must agree on the maximum flow value
+                if (expected == null) {
+                    expected = result.flow;
+                } else if (expected != result.flow) {
+                    failures.add(result.key() + ": flow " + result.flow + " differs from " + expected);
+                }
+
+                if (!MIN_COST_SOLVERS.contains(solver.getKey())) {
+                    continue;
+                }
+
+                // Minimum cost solvers must leave no cheaper flow and agree on the cost
+                for (String problem : FlowValidator.validateMinCost(network)) {
+                    failures.add(result.key() + ": " + problem);
+                }
+                if (expectedCost == null) {
+                    expectedCost = result.cost;
+                } else if (expectedCost != result.cost) {
+                    failures.add(result.key() + ": cost " + result.cost + " differs from " + expectedCost);
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Run one solver several times on a network, keeping the best time and allocation
+     *
+     * @param caseName network name
+     * @param solverName solver name
+     * @param solver solver to run
+     * @param network network to solve
+     * @return measured result
+     */
+    private static Result measure(String caseName, String solverName, MaxFlowSolver solver, FlowNetwork network) {
+        int flow       = 0;
+        long bestNanos = Long.MAX_VALUE;
+        long bestBytes = Long.MAX_VALUE;
+
+        for (int run = 0; run < WARMUP_RUNS; run++) {
+            resetFlows(network);
+            solver.solve(network);
+        }
+
+        for (int run = 0; run < RUNS; run++) {
+            resetFlows(network);
+
+            long startBytes = allocatedBytes();
+            long startNanos = System.nanoTime();
+            flow            = solver.solve(network);
+            long nanos      = System.nanoTime() - startNanos;
+            long bytes      = allocatedBytes() - startBytes;
+
+            bestNanos = Math.min(bestNanos, nanos);
+            bestBytes = Math.min(bestBytes, bytes);
+        }
+
+        return new Result(caseName, solverName, flow, FlowValidator.totalCost(network), bestNanos,
+                allocationSupported() ? bestBytes : -1);
+    }
+
+    /**
+     * Compare results with a baseline and record any regression
+     *
+     * @param results current results
+     * @param baseline baseline time and allocation by result key
+     * @param threshold largest allowed ratio of current to baseline
+     * @param failures list to add regressions to
+     */
+    private static void compareWithBaseline(List<Result> results, Map<String, long[]> baseline,
+                                            double threshold, List<String> failures) {
+        for (Result result : results) {
+            long[] previous = baseline.get(result.key());
+            if (previous == null) {
+                continue;
+            }
+
+            if (isRegression(result.nanos, previous[0], threshold, NOISE_NANOS)) {
+                failures.add(result.key() + ": time " + formatMillis(result.nanos) + " ms, baseline "
+                        + formatMillis(previous[0]) + " ms");
+            }
+            if (result.bytes >= 0 && previous[1] >= 0
+                    && isRegression(result.bytes, previous[1], threshold, NOISE_BYTES)) {
+                failures.add(result.key() + ": allocated " + result.bytes + " bytes, baseline "
+                        + previous[1] + " bytes");
+            }
+        }
+    }
+
+    /**
+     * Check if a measurement is worse than baseline by more than threshold and noise
+     *
+     * @param current current value
+     * @param previous baseline value
+     * @param threshold largest allowed ratio
+     * @param noise smallest difference that counts
+     * @return true if it is a regression
+     */
+    private static boolean isRegression(long current, long previous, double threshold, long noise) {
+        return current > previous * threshold && current - previous > noise;
+    }
+
+    /**
+     * Print a table of all results
+     *
+     * @param results results to print
+     */
+    private static void printResults(List<Result> results) {
+        System.out.println("========================================");
+        System.out.println("Benchmark results:");
+        System.out.println("----------------------------------------");
+        System.out.printf("%-18s %-18s %10s %10s %12s %14s%n", "Network", "Solver", "Max flow", "Cost",
+                "Time (ms)", "Allocated (B)");
+        for (Result result : results) {
+            System.out.printf("%-18s %-18s %10d %10d %12s %14d%n", result.caseName, result.solverName,
+                    result.flow, result.cost, formatMillis(result.nanos), result.bytes);
+        }
+    }
+
+    /**
+     * Read baseline file. Each line is: network solver nanos bytes
+     *
+     * @param filename file to read
+     * @return baseline time and allocation by result key
+     * @throws IOException if file can't be read
+     */
+    private static Map<String, long[]> readBaseline(String filename) throws IOException {
+        Map<String, long[]> baseline = new HashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                if (parts.length != 4) {
+                    continue;
+                }
+
+                long nanos = Long.parseLong(parts[2]);
+                long bytes = Long.parseLong(parts[3]);
+                baseline.put(parts[0] + " " + parts[1], new long[] { nanos, bytes });
+            }
+        }
+
+        return baseline;
+    }
+
+    /**
+     * Write results in the baseline file format
+     *
+     * @param filename file to write
+     * @param results results to save
+     * @throws IOException if file can't be written
+     */
+    private static void writeBaseline(String filename, List<Result> results) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
+            for (Result result : results) {
+                writer.println(result.key() + " " + result.nanos + " " + result.bytes);
+            }
+        }
+    }
+
+    /**
+     * Set flow on every edge back to 0
+     *
+     * @param network network to reset
+     */
+    private static void resetFlows(FlowNetwork network) {
+        for (Edge edge : network.getEdges()) {
+            edge.setFlow(0);
+        }
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or 0 if the JVM can't tell
+     *
+     * @return allocated bytes
+     */
+    private static long allocatedBytes() {
+        return allocationSupported()
+                ? ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes()
+                : 0;
+    }
+
+    /**
+     * Check if the JVM can report allocated bytes per thread
+     *
+     * @return true if supported
+     */
+    private static boolean allocationSupported() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean;
+    }
+
+    /**
+     * Format nanoseconds as milliseconds
+     *
+     * @param nanos time in nanoseconds
+     * @return time in milliseconds with 3 decimals
+     */
+    private static String formatMillis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+}
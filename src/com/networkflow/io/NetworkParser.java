@@ -29,19 +29,20 @@ public class NetworkParser {
             // Make the network with that many nodes
             network           = new FlowNetwork(numberOfNodes);
 
-            // Next lines are edges
+            // Next lines are edges, cost column is optional
             while ((line = reader.readLine()) != null) {
                 String[] parts = line.trim().split("\\s+");
-                if (parts.length != 3) {
+                if (parts.length != 3 && parts.length != 4) {
                     continue;
                 }
 
                 int from     = Integer.parseInt(parts[0]);
                 int to       = Integer.parseInt(parts[1]);
                 int capacity = Integer.parseInt(parts[2]);
+                int cost     = parts.length == 4 ? Integer.parseInt(parts[3]) : 0;
 
                 // add the edge
-                network.addEdge(from, to, capacity);
+                network.addEdge(from, to, capacity, cost);
             }
         }
 
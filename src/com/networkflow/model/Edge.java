@@ -8,6 +8,7 @@ public class Edge {
     private final Node from;
     private final Node to;
     private final int  capacity;
+    private final int  cost;
     private int        flow;
 
     /**
@@ -19,9 +20,23 @@ public class Edge {
      * @param capacity how much flow can go through
      */
     public Edge(Node from, Node to, int capacity) {
+        this(from, to, capacity, 0);
+    }
+
+    /**
+     * Make new edge with given nodes, capacity and cost per unit of flow.
+     * Flow starts at 0.
+     *
+     * @param from starting node
+     * @param to ending node
+     * @param capacity how much flow can go through
+     * @param cost cost of sending one unit of flow
+     */
+    public Edge(Node from, Node to, int capacity, int cost) {
         this.from     =  from;
         this.to       =  to;
         this.capacity =  capacity;
+        this.cost     =  cost;
         this.flow     =  0;
     }
 
@@ -52,6 +67,15 @@ public class Edge {
         return capacity;
     }
 
+    /**
+     * Get cost of sending one unit of flow through this edge.
+     *
+     * @return cost per unit of flow
+     */
+    public int getCost() {
+        return cost;
+    }
+
     /**
      * Get current flow value through this edge.
      *
@@ -38,10 +38,23 @@ public class FlowNetwork {
      * @return created edge
      */
     public Edge addEdge(int from, int to, int capacity) {
+        return addEdge(from, to, capacity, 0);
+    }
+
+    /**
+     * Add directed edge to network with specified capacity and cost.
+     *
+     * @param from source node ID
+     * @param to target node ID
+     * @param capacity maximum flow capacity
+     * @param cost cost per unit of flow
+     * @return created edge
+     */
+    public Edge addEdge(int from, int to, int capacity, int cost) {
         Node fromNode = nodes.get(from);
         Node toNode   = nodes.get(to);
 
-        Edge edge     = new Edge(fromNode, toNode, capacity);
+        Edge edge     = new Edge(fromNode, toNode, capacity, cost);
 
         fromNode.addOutgoingEdge(edge);
         toNode.addIncomingEdge(edge);
@@ -77,6 +90,20 @@ public class FlowNetwork {
         return edges;
     }
 
+    /**
+     * Check if any edge in network has a cost.
+     *
+     * @return true if at least one edge has non-zero cost
+     */
+    public boolean hasCosts() {
+        for (Edge edge : edges) {
+            if (edge.getCost() != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Get total number of nodes in network.
      *
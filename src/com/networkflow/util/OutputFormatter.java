@@ -23,10 +23,12 @@ public class OutputFormatter {
         System.out.println("Target node: " + network.getTarget().getId());
         System.out.println("----------------------------------------");
         System.out.println("Edges:");
+        boolean hasCosts = network.hasCosts();
         for (Edge edge : network.getEdges()) {
             System.out.println("  From " + edge.getFrom().getId() +
                     " to " + edge.getTo().getId() +
-                    " (capacity: " + edge.getCapacity() + ")");
+                    " (capacity: " + edge.getCapacity() +
+                    (hasCosts ? ", cost: " + edge.getCost() : "") + ")");
         }
         System.out.println("========================================");
     }
@@ -40,11 +42,13 @@ public class OutputFormatter {
         System.out.println("========================================");
         System.out.println("Final network state:");
         System.out.println("----------------------------------------");
+        boolean hasCosts = network.hasCosts();
         for (Edge edge : network.getEdges()) {
             System.out.println("  Edge from " + edge.getFrom().getId() +
                     " to " + edge.getTo().getId() +
                     " (flow: " + edge.getFlow() + "/" +
-                    edge.getCapacity() + ")");
+                    edge.getCapacity() +
+                    (hasCosts ? ", cost: " + edge.getCost() : "") + ")");
         }
         System.out.println("========================================");
     }